@@ -0,0 +1,238 @@
+package org.scm4j.vcs.api.abstracttest;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.scm4j.vcs.api.IVCS;
+import org.scm4j.vcs.api.workingcopy.IVCSLockedWorkingCopy;
+import org.scm4j.vcs.api.workingcopy.IVCSRepositoryWorkspace;
+import org.scm4j.vcs.api.workingcopy.IVCSWorkspace;
+import org.scm4j.vcs.api.workingcopy.VCSWorkspace;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Drives thousands of virtual thread clients against the same IVCS instance and IVCSRepositoryWorkspace, checks for
+ * deadlocks, leaked locks and LWC folders growth, measures time spent on LWC locking. Each clients count is run twice,
+ * the repeated run must reuse LWC folders of the first one. Requires Java 21, see java21 source set in build.gradle
+ */
+public abstract class VCSAbstractVirtualThreadsTest extends VCSAbstractTestBase {
+	protected static final int[] DEFAULT_CLIENTS_COUNTS = {1000};
+	protected static final Integer NO_IN_FLIGHT_LIMIT = 0;
+	protected static final Long DEFAULT_TIMEOUT_MILLIS_PER_CLIENT = 600L;
+	protected static final Long MIN_TIMEOUT_SECONDS = 60L;
+	protected static final Integer MAX_DUMPED_THREADS = 10;
+
+	public record RunResult(int clients, long elapsedMillis, int peakInFlight, int lwcFolders, long diskBytes,
+			long locks, long avgLockMicros, long maxLockMillis) {
+	}
+
+	/**
+	 * Time spent inside {@link IVCSRepositoryWorkspace#getVCSLockedWorkingCopy()}
+	 */
+	protected static class LockTimer {
+		private final LongAdder locks = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		public void add(long nanos) {
+			locks.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulateAndGet(nanos, Math::max);
+		}
+
+		public void reset() {
+			locks.reset();
+			totalNanos.reset();
+			maxNanos.set(0);
+		}
+
+		public long getLocks() {
+			return locks.sum();
+		}
+
+		public long getAvgMicros() {
+			long count = locks.sum();
+			return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.sum() / count);
+		}
+
+		public long getMaxMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+		}
+	}
+
+	@Test
+	public void testMassiveClients() throws Exception {
+		vcsTestDataGen.setFileContent(null, VCSAbstractTest.FILE1_NAME, VCSAbstractTest.LINE_1,
+				VCSAbstractTest.FILE1_ADDED_COMMIT_MESSAGE);
+
+		FileUtils.deleteDirectory(new File(WORKSPACE_DIR));
+		IVCSWorkspace workspace = new VCSWorkspace(WORKSPACE_DIR);
+		Set<File> lwcFolders = ConcurrentHashMap.newKeySet();
+		LockTimer lockTimer = new LockTimer();
+		IVCSRepositoryWorkspace repo = VCSRepositoryWorkspaceWrapper.wrap(workspace.getVCSRepositoryWorkspace(repoUrl),
+				wrapped -> {
+					long start = System.nanoTime();
+					IVCSLockedWorkingCopy lwc = wrapped.getVCSLockedWorkingCopy();
+					lockTimer.add(System.nanoTime() - start);
+					lwcFolders.add(lwc.getFolder());
+					return lwc;
+				});
+		IVCS vcs = getVCS(repo);
+
+		for (int clients : getClientsCounts()) {
+			int foldersBefore = lwcFolders.size();
+			RunResult result = run(vcs, clients, lwcFolders, lockTimer);
+			report(result);
+			// a new LWC folder is needed only if all existing ones are locked, so folders count can exceed neither
+			// the existing folders count nor the measured peak of simultaneously running clients
+			assertTrue("unbounded LWC folders growth: " + result,
+					result.lwcFolders() <= Math.max(foldersBefore, result.peakInFlight()));
+			assertNoLeakedLocks(repo, lwcFolders);
+
+			// the first run already created about as many folders as clients, so the repeated run must reuse them
+			int foldersAfterFirstRun = lwcFolders.size();
+			RunResult repeated = run(vcs, clients, lwcFolders, lockTimer);
+			report(repeated);
+			assertTrue("LWC folders are not reused on repeated run: " + foldersAfterFirstRun + " before, " + repeated,
+					repeated.lwcFolders() <= Math.max(foldersAfterFirstRun, repeated.peakInFlight()));
+			assertNoLeakedLocks(repo, lwcFolders);
+		}
+	}
+
+	protected RunResult run(IVCS vcs, int clients, Set<File> lwcFolders, LockTimer lockTimer) throws Exception {
+		Semaphore inFlightLimit = getMaxInFlight() > 0 ? new Semaphore(getMaxInFlight()) : null;
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger peakInFlight = new AtomicInteger();
+		AtomicReferenceArray<Thread> clientThreads = new AtomicReferenceArray<>(clients);
+		Consumer<IVCS> op = getClientOperation();
+		lockTimer.reset();
+		long start = System.nanoTime();
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		try {
+			List<Future<?>> futures = new ArrayList<>(clients);
+			for (int i = 0; i < clients; i++) {
+				int client = i;
+				futures.add(executor.submit(() -> {
+					clientThreads.set(client, Thread.currentThread());
+					if (inFlightLimit != null) {
+						inFlightLimit.acquire();
+					}
+					try {
+						peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+						op.accept(vcs);
+					} finally {
+						inFlight.decrementAndGet();
+						if (inFlightLimit != null) {
+							inFlightLimit.release();
+						}
+					}
+					return null;
+				}));
+			}
+			long timeoutSeconds = getTimeoutSeconds(clients);
+			long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+			for (Future<?> future : futures) {
+				try {
+					future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				} catch (TimeoutException e) {
+					fail("Clients are not finished in " + timeoutSeconds + "s, possible deadlock. "
+							+ dumpUnfinished(futures, clientThreads));
+				} catch (ExecutionException e) {
+					throw new AssertionError("Client failed", e.getCause());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		return new RunResult(clients, elapsedMillis, peakInFlight.get(), lwcFolders.size(),
+				FileUtils.sizeOfDirectory(new File(WORKSPACE_DIR)), lockTimer.getLocks(), lockTimer.getAvgMicros(),
+				lockTimer.getMaxMillis());
+	}
+
+	private String dumpUnfinished(List<Future<?>> futures, AtomicReferenceArray<Thread> clientThreads) {
+		StringBuilder sb = new StringBuilder();
+		int unfinished = 0;
+		for (int i = 0; i < futures.size(); i++) {
+			if (futures.get(i).isDone()) {
+				continue;
+			}
+			unfinished++;
+			Thread thread = clientThreads.get(i);
+			if (thread == null || unfinished > MAX_DUMPED_THREADS) {
+				continue;
+			}
+			sb.append("\nclient ").append(i).append(" ").append(thread).append(" ").append(thread.getState());
+			for (StackTraceElement element : thread.getStackTrace()) {
+				sb.append("\n\tat ").append(element);
+			}
+		}
+		return "Unfinished clients: " + unfinished + sb;
+	}
+
+	/**
+	 * Locks as many LWCs as were ever created. If any lock is leaked then a new LWC folder appears
+	 */
+	protected void assertNoLeakedLocks(IVCSRepositoryWorkspace repo, Set<File> lwcFolders) throws Exception {
+		int foldersBefore = lwcFolders.size();
+		List<IVCSLockedWorkingCopy> lwcs = new ArrayList<>();
+		try {
+			for (int i = 0; i < foldersBefore; i++) {
+				lwcs.add(repo.getVCSLockedWorkingCopy());
+			}
+			assertEquals("leaked LWC locks detected", foldersBefore, lwcFolders.size());
+		} finally {
+			for (IVCSLockedWorkingCopy lwc : lwcs) {
+				lwc.close();
+			}
+		}
+	}
+
+	protected Consumer<IVCS> getClientOperation() {
+		return vcs -> vcs.getFileContent(null, VCSAbstractTest.FILE1_NAME, null);
+	}
+
+	/**
+	 * Clients counts to run, 1000 by default. Override to add e.g. 10000 if the IVCS implementation is fast enough
+	 */
+	protected int[] getClientsCounts() {
+		return DEFAULT_CLIENTS_COUNTS;
+	}
+
+	/**
+	 * Limit of clients executing {@link #getClientOperation()} simultaneously. Unlimited by default
+	 */
+	protected int getMaxInFlight() {
+		return NO_IN_FLIGHT_LIMIT;
+	}
+
+	/**
+	 * Timeout of a single run of {@code clients} clients, {@link #DEFAULT_TIMEOUT_MILLIS_PER_CLIENT} per client by
+	 * default
+	 */
+	protected long getTimeoutSeconds(int clients) {
+		return Math.max(MIN_TIMEOUT_SECONDS, TimeUnit.MILLISECONDS.toSeconds(clients * DEFAULT_TIMEOUT_MILLIS_PER_CLIENT));
+	}
+
+	protected void report(RunResult result) {
+		System.out.println(getVCSTypeString() + " " + result);
+	}
+}
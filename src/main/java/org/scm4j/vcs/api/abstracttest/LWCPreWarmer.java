@@ -0,0 +1,80 @@
+package org.scm4j.vcs.api.abstracttest;
+
+import org.scm4j.vcs.api.IVCS;
+import org.scm4j.vcs.api.workingcopy.IVCSLockedWorkingCopy;
+import org.scm4j.vcs.api.workingcopy.IVCSRepositoryWorkspace;
+import org.scm4j.vcs.api.workingcopy.IVCSWorkspace;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class LWCPreWarmer {
+
+	public static final Consumer<IVCS> DEFAULT_WARM_UP_OPERATION = vcs -> vcs.getHeadCommit(null);
+
+	private final IVCSWorkspace workspace;
+	private final Function<IVCSRepositoryWorkspace, IVCS> vcsFactory;
+	private final Consumer<IVCS> warmUpOperation;
+
+	public LWCPreWarmer(IVCSWorkspace workspace, Function<IVCSRepositoryWorkspace, IVCS> vcsFactory) {
+		this(workspace, vcsFactory, DEFAULT_WARM_UP_OPERATION);
+	}
+
+	public LWCPreWarmer(IVCSWorkspace workspace, Function<IVCSRepositoryWorkspace, IVCS> vcsFactory,
+			Consumer<IVCS> warmUpOperation) {
+		this.workspace = workspace;
+		this.vcsFactory = vcsFactory;
+		this.warmUpOperation = warmUpOperation;
+	}
+
+	/**
+	 * Fills the workspace with {@code lwcCount} LWCs of {@code repoUrl} which are ready to use, i.e. already
+	 * cloned by the IVCS implementation. Returns folders of the pre-warmed LWCs.
+	 *
+	 * @throws IllegalStateException if the warm up operation does not obtain LWC
+	 */
+	public List<File> preWarm(String repoUrl, int lwcCount) throws Exception {
+		IVCSRepositoryWorkspace repo = workspace.getVCSRepositoryWorkspace(repoUrl);
+		List<IVCSLockedWorkingCopy> lwcs = new ArrayList<>();
+		List<File> warmedFolders = new ArrayList<>();
+		try {
+			// all LWCs are held locked at once, so each one is a separate folder
+			for (int i = 0; i < lwcCount; i++) {
+				lwcs.add(repo.getVCSLockedWorkingCopy());
+			}
+			while (!lwcs.isEmpty()) {
+				IVCSLockedWorkingCopy lwc = lwcs.remove(0);
+				warmUp(repo, lwc);
+				warmedFolders.add(lwc.getFolder());
+			}
+		} finally {
+			for (IVCSLockedWorkingCopy lwc : lwcs) {
+				lwc.close();
+			}
+		}
+		return warmedFolders;
+	}
+
+	private void warmUp(IVCSRepositoryWorkspace repo, IVCSLockedWorkingCopy lwc) throws Exception {
+		AtomicBoolean obtained = new AtomicBoolean(false);
+		IVCSRepositoryWorkspace pinnedRepo = VCSRepositoryWorkspaceWrapper.wrap(repo, wrapped -> {
+			obtained.set(true);
+			return lwc;
+		});
+		try {
+			warmUpOperation.accept(vcsFactory.apply(pinnedRepo));
+		} finally {
+			// IVCS closes LWC it obtained. Otherwise the LWC is still ours
+			if (!obtained.get()) {
+				lwc.close();
+			}
+		}
+		if (!obtained.get()) {
+			throw new IllegalStateException("Warm up operation has not obtained LWC of " + repo);
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package org.scm4j.vcs.api.abstracttest;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assume;
+import org.junit.Test;
+import org.scm4j.vcs.api.IVCS;
+import org.scm4j.vcs.api.WalkDirection;
+import org.scm4j.vcs.api.workingcopy.IVCSLockedWorkingCopy;
+import org.scm4j.vcs.api.workingcopy.IVCSRepositoryWorkspace;
+import org.scm4j.vcs.api.workingcopy.IVCSWorkspace;
+import org.scm4j.vcs.api.workingcopy.VCSWorkspace;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public abstract class VCSAbstractBenchmark extends VCSAbstractTestBase {
+	protected static final Integer DEFAULT_CALLS_COUNT = 10;
+	protected static final Integer DEFAULT_PRE_WARMED_LWC_COUNT = 2;
+
+	@Test
+	public void testColdStartVsSteadyState() throws Exception {
+		generateTestData();
+		boolean lwcUsed = false;
+		for (Map.Entry<String, Consumer<IVCS>> op : getBenchmarkOperations().entrySet()) {
+			VCSLatencyCurve curve = new VCSLatencyCurve(op.getKey());
+			List<File> lockedFolders = new ArrayList<>();
+			List<Boolean> populatedOnLock = new ArrayList<>();
+			IVCS vcs = getVCS(recordLocks(getEmptyWorkspace().getVCSRepositoryWorkspace(repoUrl), lockedFolders,
+					populatedOnLock));
+			for (int i = 0; i < getCallsCount(); i++) {
+				long start = System.nanoTime();
+				op.getValue().accept(vcs);
+				curve.addCall(System.nanoTime() - start);
+			}
+			report(curve);
+
+			if (lockedFolders.isEmpty()) {
+				continue;
+			}
+			lwcUsed = true;
+			// the first call clones into a fresh LWC, the rest reuse it
+			assertFalse(populatedOnLock.get(0));
+			assertTrue(isPopulated(lockedFolders.get(0)));
+			assertFalse(populatedOnLock.subList(1, populatedOnLock.size()).contains(false));
+		}
+		Assume.assumeTrue("no operation obtains LWC", lwcUsed);
+	}
+
+	@Test
+	public void testPreWarmingRemovesColdStart() throws Exception {
+		generateTestData();
+		List<File> warmUpLockedFolders = new ArrayList<>();
+		getWarmUpOperation().accept(getVCS(recordLocks(getEmptyWorkspace().getVCSRepositoryWorkspace(repoUrl),
+				warmUpLockedFolders, new ArrayList<>())));
+		Assume.assumeFalse("warm up operation does not obtain LWC", warmUpLockedFolders.isEmpty());
+
+		boolean lwcUsed = false;
+		for (Map.Entry<String, Consumer<IVCS>> op : getBenchmarkOperations().entrySet()) {
+			// pre-warmed call is measured first so JIT warm-up does not favour it
+			IVCSWorkspace workspace = getEmptyWorkspace();
+			List<File> preWarmedFolders = new LWCPreWarmer(workspace, this::getVCS, getWarmUpOperation())
+					.preWarm(repoUrl, getPreWarmedLWCCount());
+			assertEquals(getPreWarmedLWCCount(), preWarmedFolders.size());
+			for (File folder : preWarmedFolders) {
+				assertTrue(isPopulated(folder));
+			}
+
+			List<File> lockedFolders = new ArrayList<>();
+			List<Boolean> populatedOnLock = new ArrayList<>();
+			IVCS preWarmedVCS = getVCS(recordLocks(workspace.getVCSRepositoryWorkspace(repoUrl), lockedFolders,
+					populatedOnLock));
+			VCSLatencyCurve preWarmedCurve = new VCSLatencyCurve(op.getKey() + " (pre-warmed)");
+			preWarmedCurve.addCall(measure(op.getValue(), preWarmedVCS));
+			report(preWarmedCurve);
+
+			List<File> coldLockedFolders = new ArrayList<>();
+			IVCS coldVCS = getVCS(recordLocks(getEmptyWorkspace().getVCSRepositoryWorkspace(repoUrl),
+					coldLockedFolders, new ArrayList<>()));
+			VCSLatencyCurve coldCurve = new VCSLatencyCurve(op.getKey() + " (cold)");
+			coldCurve.addCall(measure(op.getValue(), coldVCS));
+			report(coldCurve);
+
+			if (coldLockedFolders.isEmpty()) {
+				continue;
+			}
+			lwcUsed = true;
+			assertFalse(lockedFolders.isEmpty());
+			assertFalse(populatedOnLock.contains(false));
+			assertTrue(preWarmedFolders.containsAll(lockedFolders));
+			// single samples are too noisy to assert on, the difference is reported only
+			report(op.getKey() + ": pre-warming saves " + TimeUnit.NANOSECONDS.toMillis(
+					coldCurve.getColdNanos() - preWarmedCurve.getColdNanos()) + " ms");
+		}
+		Assume.assumeTrue("no operation obtains LWC", lwcUsed);
+	}
+
+	protected IVCSWorkspace getEmptyWorkspace() throws Exception {
+		FileUtils.deleteDirectory(new File(WORKSPACE_DIR));
+		return new VCSWorkspace(WORKSPACE_DIR);
+	}
+
+	protected void generateTestData() throws Exception {
+		vcsTestDataGen.setFileContent(null, VCSAbstractTest.FILE1_NAME, VCSAbstractTest.LINE_1,
+				VCSAbstractTest.FILE1_ADDED_COMMIT_MESSAGE);
+		vcsTestDataGen.setFileContent(null, VCSAbstractTest.FILE3_IN_FOLDER_NAME, VCSAbstractTest.LINE_2,
+				VCSAbstractTest.FILE3_ADDED_COMMIT_MESSAGE);
+		vcsTestDataGen.createBranch(null, VCSAbstractTest.NEW_BRANCH, VCSAbstractTest.CREATED_DST_BRANCH_COMMIT_MESSAGE);
+		vcsTestDataGen.createTag(null, VCSAbstractTest.TAG_NAME_1, VCSAbstractTest.TAG_MESSAGE_1, null);
+	}
+
+	protected Map<String, Consumer<IVCS>> getBenchmarkOperations() {
+		Map<String, Consumer<IVCS>> res = new LinkedHashMap<>();
+		res.put("getBranches", vcs -> vcs.getBranches(""));
+		res.put("getFileContent", vcs -> vcs.getFileContent(null, VCSAbstractTest.FILE1_NAME, null));
+		res.put("fileExists", vcs -> vcs.fileExists(null, VCSAbstractTest.FILE3_IN_FOLDER_NAME));
+		res.put("log", vcs -> vcs.log(null, VCSAbstractTest.DEFAULT_COMMITS_LIMIT));
+		res.put("getCommitsRange", vcs -> vcs.getCommitsRange(null, null, WalkDirection.DESC,
+				VCSAbstractTest.DEFAULT_COMMITS_LIMIT));
+		res.put("getHeadCommit", vcs -> vcs.getHeadCommit(null));
+		res.put("getTags", IVCS::getTags);
+		return res;
+	}
+
+	protected Consumer<IVCS> getWarmUpOperation() {
+		return LWCPreWarmer.DEFAULT_WARM_UP_OPERATION;
+	}
+
+	protected int getCallsCount() {
+		return DEFAULT_CALLS_COUNT;
+	}
+
+	protected int getPreWarmedLWCCount() {
+		return DEFAULT_PRE_WARMED_LWC_COUNT;
+	}
+
+	protected void report(VCSLatencyCurve curve) {
+		report(curve.toString());
+	}
+
+	protected void report(String message) {
+		System.out.println(getVCSTypeString() + " " + message);
+	}
+
+	private long measure(Consumer<IVCS> op, IVCS vcs) {
+		long start = System.nanoTime();
+		op.accept(vcs);
+		return System.nanoTime() - start;
+	}
+
+	private IVCSRepositoryWorkspace recordLocks(IVCSRepositoryWorkspace repo, List<File> lockedFolders,
+			List<Boolean> populatedOnLock) {
+		return VCSRepositoryWorkspaceWrapper.wrap(repo, wrapped -> {
+			IVCSLockedWorkingCopy lwc = wrapped.getVCSLockedWorkingCopy();
+			lockedFolders.add(lwc.getFolder());
+			populatedOnLock.add(isPopulated(lwc.getFolder(), lwc.getLockFile()));
+			return lwc;
+		});
+	}
+
+	private boolean isPopulated(File folder) {
+		return isPopulated(folder, null);
+	}
+
+	private boolean isPopulated(File folder, File lockFile) {
+		File[] content = folder.listFiles(file -> !file.equals(lockFile));
+		return content != null && content.length > 0;
+	}
+}
@@ -26,11 +26,7 @@ import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 
-public abstract class VCSAbstractTest {
-	protected static final String TEST_BASE_DIR = new File(System.getProperty("java.io.tmpdir"), "scm4j-vcs-test").getPath();
-	protected static final String REPO_DIR = new File(TEST_BASE_DIR, "base-repo").getPath();
-	protected static final String WORKSPACE_DIR = new File(TEST_BASE_DIR, "workspaces").getPath();
-	protected static final String TEST_DATA_GEN_WORKSAPCE_DIR = new File(TEST_BASE_DIR, "test-data-gen").getPath();
+public abstract class VCSAbstractTest extends VCSAbstractTestBase {
 	protected static final String NEW_BRANCH = "new-branch";
 	protected static final String NEW_BRANCH_2 = "new-branch-2";
 	protected static final String CREATED_DST_BRANCH_COMMIT_MESSAGE = "created dst branch";
@@ -62,14 +58,11 @@ public abstract class VCSAbstractTest {
 	protected static final String FILE2_REMOVED_COMMIT_MESSAGE = FILE2_NAME + " removed";
 	protected static final Integer DEFAULT_COMMITS_LIMIT = 100;
 
-	protected String repoName;
-	protected String repoUrl;
 	protected IVCSWorkspace localVCSWorkspace;
 	protected IVCSRepositoryWorkspace localVCSRepo;
 	protected IVCSRepositoryWorkspace mockedVCSRepo;
 	protected IVCSLockedWorkingCopy mockedLWC;
 	protected IVCS vcs;
-	protected IVCS vcsTestDataGen;
 
 	// TODO: make test repositories be accessed through login\pwd
 
@@ -84,29 +77,17 @@ public abstract class VCSAbstractTest {
 	@After
 	public void setUpAndTearDown() throws Exception {
 		mockedLWC.close();
-		FileUtils.deleteDirectory(new File(TEST_BASE_DIR));
 	}
 
 	@Before
 	public void setUp() throws Exception {
-		File testBaseDir = new File(TEST_BASE_DIR);
-		if (testBaseDir.exists()) {
-			FileUtils.deleteDirectory(testBaseDir);
-		}
-		
-		repoName = "scm4j-vcs-" + getVCSTypeString() + "-testrepo";
+		super.setUp();
 
 		localVCSWorkspace = new VCSWorkspace(WORKSPACE_DIR);
-		IVCSWorkspace localVCSGenWorkspace = new VCSWorkspace(TEST_DATA_GEN_WORKSAPCE_DIR);
-
-		repoUrl = new File(REPO_DIR, repoName).toURI().toString().replace("file:/", "file:///");
 
 		localVCSRepo = localVCSWorkspace.getVCSRepositoryWorkspace(repoUrl);
 		mockedVCSRepo = Mockito.spy(localVCSWorkspace.getVCSRepositoryWorkspace(repoUrl));
 
-		IVCSRepositoryWorkspace localVCSGenRepo = localVCSGenWorkspace.getVCSRepositoryWorkspace(repoUrl);
-		vcsTestDataGen = getVCS(localVCSGenRepo);
-
 		vcs = getVCS(mockedVCSRepo);
 		
 		resetMocks();
@@ -689,9 +670,5 @@ public abstract class VCSAbstractTest {
 		return false;
 	}
 	
-	protected abstract IVCS getVCS(IVCSRepositoryWorkspace mockedVCSRepo);
-
 	protected abstract void setMakeFailureOnVCSReset(Boolean doMakeFailure) throws Exception;
-	
-	protected abstract String getVCSTypeString();
 }
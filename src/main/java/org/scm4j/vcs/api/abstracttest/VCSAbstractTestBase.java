@@ -0,0 +1,45 @@
+package org.scm4j.vcs.api.abstracttest;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.scm4j.vcs.api.IVCS;
+import org.scm4j.vcs.api.workingcopy.IVCSRepositoryWorkspace;
+import org.scm4j.vcs.api.workingcopy.IVCSWorkspace;
+import org.scm4j.vcs.api.workingcopy.VCSWorkspace;
+
+import java.io.File;
+
+public abstract class VCSAbstractTestBase {
+	protected static final String TEST_BASE_DIR = new File(System.getProperty("java.io.tmpdir"), "scm4j-vcs-test").getPath();
+	protected static final String REPO_DIR = new File(TEST_BASE_DIR, "base-repo").getPath();
+	protected static final String WORKSPACE_DIR = new File(TEST_BASE_DIR, "workspaces").getPath();
+	protected static final String TEST_DATA_GEN_WORKSAPCE_DIR = new File(TEST_BASE_DIR, "test-data-gen").getPath();
+
+	protected String repoName;
+	protected String repoUrl;
+	protected IVCS vcsTestDataGen;
+
+	@After
+	public void deleteTestBaseDir() throws Exception {
+		FileUtils.deleteDirectory(new File(TEST_BASE_DIR));
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		File testBaseDir = new File(TEST_BASE_DIR);
+		if (testBaseDir.exists()) {
+			FileUtils.deleteDirectory(testBaseDir);
+		}
+
+		repoName = "scm4j-vcs-" + getVCSTypeString() + "-testrepo";
+		repoUrl = new File(REPO_DIR, repoName).toURI().toString().replace("file:/", "file:///");
+
+		IVCSWorkspace localVCSGenWorkspace = new VCSWorkspace(TEST_DATA_GEN_WORKSAPCE_DIR);
+		vcsTestDataGen = getVCS(localVCSGenWorkspace.getVCSRepositoryWorkspace(repoUrl));
+	}
+
+	protected abstract IVCS getVCS(IVCSRepositoryWorkspace mockedVCSRepo);
+
+	protected abstract String getVCSTypeString();
+}
@@ -0,0 +1,59 @@
+package org.scm4j.vcs.api.abstracttest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class VCSLatencyCurve {
+
+	private final String operationName;
+	private final List<Long> callNanos = new ArrayList<>();
+
+	public VCSLatencyCurve(String operationName) {
+		this.operationName = operationName;
+	}
+
+	public void addCall(long nanos) {
+		callNanos.add(nanos);
+	}
+
+	public String getOperationName() {
+		return operationName;
+	}
+
+	public List<Long> getCallNanos() {
+		return Collections.unmodifiableList(callNanos);
+	}
+
+	public long getColdNanos() {
+		return callNanos.isEmpty() ? 0 : callNanos.get(0);
+	}
+
+	/**
+	 * Median of the second half of calls, i.e. of calls made when LWC is warm already
+	 */
+	public long getWarmNanos() {
+		if (callNanos.size() < 2) {
+			return getColdNanos();
+		}
+		List<Long> warm = new ArrayList<>(callNanos.subList(Math.max(1, callNanos.size() / 2), callNanos.size()));
+		Collections.sort(warm);
+		return warm.get(warm.size() / 2);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(operationName).append(": cold ").append(toMillis(getColdNanos())).append(" ms, warm ")
+				.append(toMillis(getWarmNanos())).append(" ms, curve [");
+		for (int i = 0; i < callNanos.size(); i++) {
+			sb.append(i == 0 ? "" : ", ").append(toMillis(callNanos.get(i)));
+		}
+		return sb.append("]").toString();
+	}
+
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+}
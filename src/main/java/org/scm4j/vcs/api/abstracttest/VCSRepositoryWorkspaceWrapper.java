@@ -0,0 +1,67 @@
+package org.scm4j.vcs.api.abstracttest;
+
+import org.scm4j.vcs.api.workingcopy.IVCSLockedWorkingCopy;
+import org.scm4j.vcs.api.workingcopy.IVCSRepositoryWorkspace;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * IVCSRepositoryWorkspace which delegates all calls to the wrapped one except
+ * {@link IVCSRepositoryWorkspace#getVCSLockedWorkingCopy()} which is passed to {@link LWCProvider}. Proxy is used
+ * instead of a plain implementation to follow IVCSRepositoryWorkspace changes in scm4j-vcs-api master-SNAPSHOT.
+ * Proxies are equal by identity only
+ */
+public class VCSRepositoryWorkspaceWrapper implements InvocationHandler {
+
+	private static final Method GET_VCS_LOCKED_WORKING_COPY;
+	private static final Method EQUALS;
+	private static final Method HASH_CODE;
+
+	static {
+		try {
+			GET_VCS_LOCKED_WORKING_COPY = IVCSRepositoryWorkspace.class.getMethod("getVCSLockedWorkingCopy");
+			EQUALS = Object.class.getMethod("equals", Object.class);
+			HASH_CODE = Object.class.getMethod("hashCode");
+		} catch (NoSuchMethodException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	public interface LWCProvider {
+		IVCSLockedWorkingCopy getVCSLockedWorkingCopy(IVCSRepositoryWorkspace wrapped) throws Exception;
+	}
+
+	private final IVCSRepositoryWorkspace wrapped;
+	private final LWCProvider lwcProvider;
+
+	private VCSRepositoryWorkspaceWrapper(IVCSRepositoryWorkspace wrapped, LWCProvider lwcProvider) {
+		this.wrapped = wrapped;
+		this.lwcProvider = lwcProvider;
+	}
+
+	public static IVCSRepositoryWorkspace wrap(IVCSRepositoryWorkspace wrapped, LWCProvider lwcProvider) {
+		return (IVCSRepositoryWorkspace) Proxy.newProxyInstance(IVCSRepositoryWorkspace.class.getClassLoader(),
+				new Class<?>[] {IVCSRepositoryWorkspace.class}, new VCSRepositoryWorkspaceWrapper(wrapped, lwcProvider));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (method.equals(GET_VCS_LOCKED_WORKING_COPY)) {
+			return lwcProvider.getVCSLockedWorkingCopy(wrapped);
+		}
+		if (method.equals(EQUALS)) {
+			return proxy == args[0];
+		}
+		if (method.equals(HASH_CODE)) {
+			return System.identityHashCode(proxy);
+		}
+		try {
+			return method.invoke(wrapped, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}